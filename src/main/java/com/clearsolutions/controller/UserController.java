@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Controller class for managing user-related HTTP requests.
@@ -89,20 +91,41 @@ public class UserController {
         }
     }
 
+    /**
+     * Get a user by ID.
+     *
+     * @param userId The ID of the user to be retrieved.
+     * @param fields The comma-separated user fields to return, all fields if omitted.
+     * @return ResponseEntity representing the HTTP response.
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getUser(@PathVariable Long userId, @RequestParam(required = false) Set<String> fields) {
+        try {
+            return userService.findUserById(userId, fields)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            // Return bad request if an unknown field is requested
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Search users by birth date range.
      *
      * @param fromDate The start date of the birth date range.
      * @param toDate   The end date of the birth date range.
-     * @return ResponseEntity representing the HTTP response.
+     * @param fields   The comma-separated user fields to return, all fields if omitted.
+     * @return ResponseEntity with a JSON array of the matching users.
      */
     @GetMapping("/search")
-    public ResponseEntity<String> searchUsersByBirthDateRange(
+    public ResponseEntity<?> searchUsersByBirthDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Set<String> fields) {
         try {
-            List<User> users = userService.getUsersByBirthDateRange(fromDate, toDate);
-            return ResponseEntity.ok(users.toString());
+            List<Map<String, Object>> users = userService.getUsersByBirthDateRange(fromDate, toDate, fields);
+            return ResponseEntity.ok(users);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
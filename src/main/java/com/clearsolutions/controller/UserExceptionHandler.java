@@ -1,7 +1,9 @@
 package com.clearsolutions.controller;
 
+import com.clearsolutions.exeption.UserCommitTimeoutException;
 import com.clearsolutions.exeption.UserErrorResponse;
 import com.clearsolutions.exeption.UserNotFoundException;
+import com.clearsolutions.exeption.UserQueueFullException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -44,6 +46,30 @@ public class UserExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles UserQueueFullException, thrown when the user creation queue cannot accept more users.
+     * @param exception The UserQueueFullException instance.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler
+    public ResponseEntity<UserErrorResponse> handleException(UserQueueFullException exception) {
+        // Create a custom error response
+        UserErrorResponse errorResponse = new UserErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage(), new Timestamp(System.currentTimeMillis()).toString());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles UserCommitTimeoutException, thrown when a queued user is not saved in time.
+     * @param exception The UserCommitTimeoutException instance.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler
+    public ResponseEntity<UserErrorResponse> handleException(UserCommitTimeoutException exception) {
+        // Create a custom error response
+        UserErrorResponse errorResponse = new UserErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage(), new Timestamp(System.currentTimeMillis()).toString());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles generic exceptions.
      * @param exc The Exception instance.
@@ -0,0 +1,7 @@
+package com.clearsolutions.exeption;
+
+public class UserCommitTimeoutException extends RuntimeException {
+    public UserCommitTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.clearsolutions.exeption;
+
+public class UserQueueFullException extends RuntimeException {
+    public UserQueueFullException(String message) {
+        super(message);
+    }
+}
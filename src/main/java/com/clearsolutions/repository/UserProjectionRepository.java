@@ -0,0 +1,18 @@
+package com.clearsolutions.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository fragment for reading sparse fieldsets of User entities.
+ * Only the requested columns are selected from the database.
+ */
+public interface UserProjectionRepository {
+
+    Optional<Map<String, Object>> findProjectedById(Long id, Set<String> fields);
+
+    List<Map<String, Object>> findProjectedByBirthDateBetween(LocalDate fromDate, LocalDate toDate, Set<String> fields);
+}
@@ -0,0 +1,135 @@
+package com.clearsolutions.repository;
+
+import com.clearsolutions.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.metamodel.Attribute;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the UserProjectionRepository fragment.
+ * Requested fields are validated against the User metamodel and turned into a JPQL tuple projection,
+ * so columns that were not asked for are never read. The JPQL is cached per field set, so the same
+ * field set always yields the same query string and reuses Hibernate's cached query plan.
+ */
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+
+    private static final String ID_PARAMETER = "id";
+    private static final String FROM_DATE_PARAMETER = "fromDate";
+    private static final String TO_DATE_PARAMETER = "toDate";
+
+    private final EntityManager entityManager;
+
+    // User attribute names in declaration order, used to validate and normalize requested fields
+    private final List<String> attributeNames;
+
+    private final Map<List<String>, String> findByIdQueries = new ConcurrentHashMap<>();
+    private final Map<List<String>, String> findByBirthDateBetweenQueries = new ConcurrentHashMap<>();
+
+    public UserProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        Set<String> persistentAttributes = entityManager.getMetamodel().entity(User.class).getSingularAttributes().stream()
+                .map(Attribute::getName)
+                .collect(Collectors.toSet());
+        this.attributeNames = Arrays.stream(User.class.getDeclaredFields())
+                .map(Field::getName)
+                .filter(persistentAttributes::contains)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Retrieves the requested fields of a user by their ID.
+     * @param id The ID of the user to retrieve
+     * @param fields The names of the User attributes to select
+     * @return An optional containing the selected fields if the user was found, otherwise empty
+     * @throws IllegalArgumentException If a field is not an attribute of User
+     */
+    @Override
+    public Optional<Map<String, Object>> findProjectedById(Long id, Set<String> fields) {
+        List<String> selectedFields = normalizeFields(fields);
+        String query = findByIdQueries.computeIfAbsent(selectedFields, this::buildFindByIdQuery);
+        return entityManager.createQuery(query, Tuple.class)
+                .setParameter(ID_PARAMETER, id)
+                .getResultList().stream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, selectedFields));
+    }
+
+    /**
+     * Retrieves the requested fields of users within the specified birth date range.
+     * @param fromDate The start date of the birth date range
+     * @param toDate The end date of the birth date range
+     * @param fields The names of the User attributes to select
+     * @return A list with the selected fields of every matching user
+     * @throws IllegalArgumentException If a field is not an attribute of User
+     */
+    @Override
+    public List<Map<String, Object>> findProjectedByBirthDateBetween(LocalDate fromDate, LocalDate toDate, Set<String> fields) {
+        List<String> selectedFields = normalizeFields(fields);
+        String query = findByBirthDateBetweenQueries.computeIfAbsent(selectedFields, this::buildFindByBirthDateBetweenQuery);
+        return entityManager.createQuery(query, Tuple.class)
+                .setParameter(FROM_DATE_PARAMETER, fromDate)
+                .setParameter(TO_DATE_PARAMETER, toDate)
+                .getResultList().stream()
+                .map(tuple -> toMap(tuple, selectedFields))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Validates the requested fields and puts them in User declaration order,
+     * so that the same field set always maps to the same cached query.
+     * @param fields The requested field names, all attributes if null or empty
+     * @return The selected field names in declaration order
+     * @throws IllegalArgumentException If a field is not an attribute of User
+     */
+    private List<String> normalizeFields(Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return attributeNames;
+        }
+        List<String> unknownFields = fields.stream()
+                .filter(field -> !attributeNames.contains(field))
+                .collect(Collectors.toList());
+        if (!unknownFields.isEmpty()) {
+            throw new IllegalArgumentException("Unknown user fields: " + String.join(", ", unknownFields));
+        }
+        return attributeNames.stream()
+                .filter(fields::contains)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private String buildFindByIdQuery(List<String> selectedFields) {
+        return selectClause(selectedFields) + " from User u where u.id = :" + ID_PARAMETER;
+    }
+
+    private String buildFindByBirthDateBetweenQuery(List<String> selectedFields) {
+        return selectClause(selectedFields) + " from User u where u.birthDate between :" + FROM_DATE_PARAMETER + " and :" + TO_DATE_PARAMETER;
+    }
+
+    /**
+     * Builds the select clause, aliasing every field with its own name so it can be read back from the tuple.
+     * Field names are validated against the metamodel before they get here.
+     */
+    private String selectClause(List<String> selectedFields) {
+        return selectedFields.stream()
+                .map(field -> "u." + field + " as " + field)
+                .collect(Collectors.joining(", ", "select ", ""));
+    }
+
+    private Map<String, Object> toMap(Tuple tuple, List<String> selectedFields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : selectedFields) {
+            result.put(field, tuple.get(field));
+        }
+        return result;
+    }
+}
@@ -4,7 +4,9 @@ import com.clearsolutions.model.User;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserService {
 
@@ -14,7 +16,11 @@ public interface UserService {
 
     Optional<User> findUserById(Long id);
 
+    Optional<Map<String, Object>> findUserById(Long id, Set<String> fields);
+
     void deleteUser(Long userId);
 
     List<User> getUsersByBirthDateRange(LocalDate fromDate, LocalDate toDate);
+
+    List<Map<String, Object>> getUsersByBirthDateRange(LocalDate fromDate, LocalDate toDate, Set<String> fields);
 }
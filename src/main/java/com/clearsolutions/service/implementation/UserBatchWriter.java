@@ -0,0 +1,238 @@
+package com.clearsolutions.service.implementation;
+
+import com.clearsolutions.exeption.UserQueueFullException;
+import com.clearsolutions.model.User;
+import com.clearsolutions.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind writer for new users, enabled with users.group-commit.enabled=true.
+ * Users are put on a bounded queue and a single writer thread saves them in micro-batches,
+ * one transaction per batch. Each caller's future is completed only after its batch has committed.
+ * A caller that gives up can cancel its future while the user is still queued, the user is then never saved.
+ */
+@Component
+@ConditionalOnProperty(name = "users.group-commit.enabled", havingValue = "true")
+public class UserBatchWriter {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingUser> queue;
+    private final int maxBatchSize;
+    private final long maxLatencyNanos;
+    private final long commitTimeoutMillis;
+    private final Thread writerThread;
+
+    // Guards accepting, so that no user can be queued once stop() has stopped accepting
+    private final Object acceptLock = new Object();
+    private boolean accepting;
+
+    private volatile boolean running;
+
+    @Autowired
+    public UserBatchWriter(UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${users.group-commit.queue-capacity:10000}") int queueCapacity,
+                           @Value("${users.group-commit.max-batch-size:200}") int maxBatchSize,
+                           @Value("${users.group-commit.max-latency-ms:5}") long maxLatencyMillis,
+                           @Value("${users.group-commit.commit-timeout-ms:10000}") long commitTimeoutMillis) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.commitTimeoutMillis = commitTimeoutMillis;
+        this.writerThread = new Thread(this::drainQueue, "user-batch-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        synchronized (acceptLock) {
+            accepting = true;
+        }
+        writerThread.start();
+    }
+
+    /**
+     * Stops accepting users, flushes everything already queued and waits for the writer thread to finish.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopAccepting();
+        running = false;
+        writerThread.join();
+        // The queue is only left non-empty if the writer thread died, answer those callers instead of leaving them waiting
+        List<PendingUser> rejected = new ArrayList<>();
+        queue.drainTo(rejected);
+        rejected.forEach(pending -> pending.future.completeExceptionally(
+                new UserQueueFullException("User creation is shutting down, please retry later.")));
+    }
+
+    /**
+     * Queues a user to be saved with the next batch.
+     * @param user The validated user entity to be created
+     * @return A future completed with the saved user once its batch has committed. Cancelling it succeeds
+     * only while the user is still queued, once its batch is being written the outcome must be awaited.
+     * @throws UserQueueFullException If the writer is stopped or the queue is full
+     */
+    public CompletableFuture<User> submit(User user) {
+        PendingUser pending = new PendingUser(user);
+        synchronized (acceptLock) {
+            if (!accepting || !queue.offer(pending)) {
+                throw new UserQueueFullException("Too many users are being created, please retry later.");
+            }
+        }
+        return pending.future;
+    }
+
+    /**
+     * Returns how long a caller should wait for its batch to commit.
+     * @return The commit timeout in milliseconds
+     */
+    public long getCommitTimeoutMillis() {
+        return commitTimeoutMillis;
+    }
+
+    private void stopAccepting() {
+        synchronized (acceptLock) {
+            accepting = false;
+        }
+    }
+
+    private void drainQueue() {
+        List<PendingUser> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // Stop accepting users but keep draining, so that queued callers still get an answer
+                stopAccepting();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for the first queued user, then keeps collecting until the batch is full
+     * or the maximum latency since the first user has passed.
+     * @param batch The list to collect queued users into
+     */
+    private void collectBatch(List<PendingUser> batch) throws InterruptedException {
+        PendingUser first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        claimInto(batch, first);
+        long deadline = System.nanoTime() + maxLatencyNanos;
+        List<PendingUser> drained = new ArrayList<>(maxBatchSize);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(drained, maxBatchSize - batch.size());
+            drained.forEach(pending -> claimInto(batch, pending));
+            drained.clear();
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingUser next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            claimInto(batch, next);
+        }
+    }
+
+    /**
+     * Adds a queued user to the batch unless its caller has already cancelled it.
+     * Once claimed, the caller can no longer cancel and waits for the batch outcome instead.
+     */
+    private static void claimInto(List<PendingUser> batch, PendingUser pending) {
+        if (pending.future.claim()) {
+            batch.add(pending);
+        }
+    }
+
+    /**
+     * Saves a batch in a single transaction and completes the callers' futures after the commit.
+     * If the batch fails, every user is retried in its own transaction so one invalid user
+     * does not fail the others.
+     * @param batch The users to save
+     */
+    private void flush(List<PendingUser> batch) {
+        List<User> users = batch.stream().map(pending -> pending.user).collect(Collectors.toList());
+        List<User> savedUsers;
+        try {
+            savedUsers = transactionTemplate.execute(status -> userRepository.saveAll(users));
+        } catch (RuntimeException e) {
+            batch.forEach(this::flushSingle);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(savedUsers.get(i));
+        }
+    }
+
+    private void flushSingle(PendingUser pending) {
+        // Identifiers assigned inside the rolled back batch transaction are not valid anymore
+        pending.user.setId(pending.originalId);
+        try {
+            pending.future.complete(transactionTemplate.execute(status -> userRepository.save(pending.user)));
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingUser {
+        private final User user;
+        private final Long originalId;
+        private final PendingUserFuture future = new PendingUserFuture();
+
+        private PendingUser(User user) {
+            this.user = user;
+            this.originalId = user.getId();
+        }
+    }
+
+    /**
+     * Future of a queued user. The writer claims it before saving and the caller cancels it on timeout,
+     * whichever comes first wins, so a cancelled user is never saved.
+     */
+    private static final class PendingUserFuture extends CompletableFuture<User> {
+        private final AtomicBoolean decided = new AtomicBoolean();
+
+        private boolean claim() {
+            return decided.compareAndSet(false, true);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return decided.compareAndSet(false, true) && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.clearsolutions.service.implementation;
 
+import com.clearsolutions.exeption.UserCommitTimeoutException;
 import com.clearsolutions.model.User;
 import com.clearsolutions.repository.UserRepository;
 import com.clearsolutions.service.UserService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the UserService interface providing CRUD operations for User entities.
@@ -20,20 +30,30 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    // Only present when group commit is enabled
+    private final UserBatchWriter userBatchWriter;
+
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ObjectProvider<UserBatchWriter> userBatchWriterProvider) {
         this.userRepository = userRepository;
+        this.userBatchWriter = userBatchWriterProvider.getIfAvailable();
     }
 
     /**
      * Creates a new user if the provided birth date meets the minimum age requirement.
+     * With group commit enabled, the user is saved with the next batch and this method returns after that batch commits.
      * @param user The user entity to be created
      * @throws IllegalArgumentException If the user's age is below the minimum required age
+     * @throws com.clearsolutions.exeption.UserQueueFullException If group commit is enabled and its queue is full
+     * @throws UserCommitTimeoutException If group commit is enabled and the batch did not commit in time
      */
     @Override
     public User createUser(User user) {
         validateUserAge(user.getBirthDate());
-        return userRepository.save(user);
+        if (userBatchWriter == null) {
+            return userRepository.save(user);
+        }
+        return awaitBatchCommit(userBatchWriter.submit(user));
     }
 
     /**
@@ -70,6 +90,18 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(id);
     }
 
+    /**
+     * Retrieves only the requested fields of a user by their ID.
+     * @param id The ID of the user to retrieve
+     * @param fields The names of the user fields to return, all fields if empty
+     * @return An optional containing the selected fields if the user was found, otherwise empty
+     * @throws IllegalArgumentException If a requested field is not a user field
+     */
+    @Override
+    public Optional<Map<String, Object>> findUserById(Long id, Set<String> fields) {
+        return validatingFields(() -> userRepository.findProjectedById(id, fields));
+    }
+
     /**
      * Deletes a user by their ID.
      * @param userId The ID of the user to delete
@@ -92,6 +124,70 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByBirthDateBetween(fromDate, toDate);
     }
 
+    /**
+     * Retrieves only the requested fields of users within the specified birth date range.
+     * @param fromDate The start date of the birth date range
+     * @param toDate The end date of the birth date range
+     * @param fields The names of the user fields to return, all fields if empty
+     * @return A list with the selected fields of every user within the specified birth date range
+     * @throws IllegalArgumentException If the 'from' date is after the 'to' date or a requested field is not a user field
+     */
+    @Override
+    public List<Map<String, Object>> getUsersByBirthDateRange(LocalDate fromDate, LocalDate toDate, Set<String> fields) {
+        validateDateRange(fromDate, toDate);
+        return validatingFields(() -> userRepository.findProjectedByBirthDateBetween(fromDate, toDate, fields));
+    }
+
+    /**
+     * Waits for the batch holding a queued user to commit. If it does not commit in time, the user is
+     * withdrawn from the queue, so a caller told to retry never ends up with a duplicate user.
+     * @param future The future returned when the user was queued
+     * @return The saved user entity
+     * @throws UserCommitTimeoutException If the user was not saved in time
+     */
+    private User awaitBatchCommit(CompletableFuture<User> future) {
+        long timeoutMillis = userBatchWriter.getCommitTimeoutMillis();
+        try {
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (future.cancel(false)) {
+                    throw new UserCommitTimeoutException("User was not saved in time, please retry later.");
+                }
+                // The batch holding the user is already being written, wait for its outcome
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new UserCommitTimeoutException("User creation did not finish in time, its outcome is unknown.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserCommitTimeoutException("Interrupted while waiting for the user to be saved.");
+        }
+    }
+
+    /**
+     * Runs a projection query, restoring the IllegalArgumentException for unknown fields
+     * that the repository's exception translation wraps into a Spring data access exception.
+     * @param query The projection query to run
+     * @return The result of the query
+     * @throws IllegalArgumentException If a requested field is not a user field
+     */
+    private <T> T validatingFields(Supplier<T> query) {
+        try {
+            return query.get();
+        } catch (InvalidDataAccessApiUsageException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Validates that a user's age meets the minimum required age.
      * @param birthDate The birth date of the user to validate
@@ -1,5 +1,6 @@
 package com.clearsolutions.controller;
 
+import com.clearsolutions.exeption.UserQueueFullException;
 import com.clearsolutions.model.User;
 import com.clearsolutions.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,10 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
@@ -40,6 +45,20 @@ class UserControllerIntegrationTest {
         verify(userService, times(1)).createUser(any());
     }
 
+    @Test
+    void createUser_QueueFull_ServiceUnavailable() throws Exception {
+        // Arrange
+        String jsonUser = "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"birthDate\":\"1990-01-01\",\"email\":\"john@example.com\",\"address\":\"123 Street\",\"phoneNumber\":\"123456789\"}";
+        when(userService.createUser(any())).thenThrow(new UserQueueFullException("Too many users are being created, please retry later."));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonUser))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(503));
+    }
+
     @Test
     void updateUser_ValidUserIdAndUser_Success() throws Exception {
         // Arrange
@@ -76,4 +95,49 @@ class UserControllerIntegrationTest {
                         .param("toDate", toDate.toString()))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
+
+    @Test
+    void getUser_WithFields_ReturnsSelectedFields() throws Exception {
+        // Arrange
+        long userId = 1L;
+        Set<String> fields = Set.of("id", "email");
+        when(userService.findUserById(userId, fields)).thenReturn(Optional.of(Map.of("id", userId, "email", "john@example.com")));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}", userId)
+                        .param("fields", "id,email"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email").value("john@example.com"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.address").doesNotExist());
+    }
+
+    @Test
+    void getUser_UnknownField_BadRequest() throws Exception {
+        // Arrange
+        long userId = 1L;
+        when(userService.findUserById(eq(userId), anySet())).thenThrow(new IllegalArgumentException("Unknown user fields: password"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/{userId}", userId)
+                        .param("fields", "password"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void searchUsersByBirthDateRange_NoFields_ReturnsJsonWithAllFields() throws Exception {
+        // Arrange
+        LocalDate fromDate = LocalDate.of(1990, 1, 1);
+        LocalDate toDate = LocalDate.of(2000, 1, 1);
+        when(userService.getUsersByBirthDateRange(fromDate, toDate, null))
+                .thenReturn(List.of(Map.of("id", 1L, "email", "john@example.com", "address", "123 Street")));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/search")
+                        .param("fromDate", fromDate.toString())
+                        .param("toDate", toDate.toString()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value("john@example.com"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].address").value("123 Street"));
+    }
 }
@@ -0,0 +1,51 @@
+package com.clearsolutions.loadtest;
+
+import com.clearsolutions.model.User;
+import com.clearsolutions.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class is a configuration component active only in the "loadtest" profile. It seeds the embedded
+ * database with a configurable number of generated users, so that load test runs are reproducible.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestDatabaseInitializer {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Bean
+    public CommandLineRunner seedLoadTestDatabase(UserRepository userRepository,
+                                                  @Value("${loadtest.seed.users:10000}") int userCount,
+                                                  @Value("${loadtest.seed.random-seed:42}") long randomSeed) {
+        return args -> {
+            // The same seed always produces the same dataset
+            Random random = new Random(randomSeed);
+            List<User> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < userCount; i++) {
+                batch.add(User.builder()
+                        .email("user" + i + "@example.com")
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .birthDate(LocalDate.of(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                        .address(random.nextInt(1000) + " Main St")
+                        .phoneNumber(String.format("%010d", random.nextInt(1_000_000_000)))
+                        .build());
+                if (batch.size() == BATCH_SIZE) {
+                    userRepository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+            userRepository.saveAll(batch);
+        };
+    }
+}
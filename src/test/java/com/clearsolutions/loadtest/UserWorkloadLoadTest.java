@@ -0,0 +1,373 @@
+package com.clearsolutions.loadtest;
+
+import com.clearsolutions.model.User;
+import com.clearsolutions.repository.UserRepository;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test that drives a mixed create/update/delete/search workload against UserController
+ * running on the embedded "loadtest" database. It reports throughput and latency percentiles of successful requests
+ * and the server allocation rate, fails on too many failed requests and compares the rest with a baseline file.
+ * Run with: mvn test -Ploadtest
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserWorkloadLoadTest {
+
+    private enum Operation {
+        CREATE, UPDATE, DELETE, SEARCH
+    }
+
+    // Tomcat request processing threads, the only threads charged to the server
+    private static final Pattern SERVER_THREAD_NAME = Pattern.compile("http-nio-.*-exec-.*");
+
+    // Metrics checked against the baseline. Tail percentiles are too noisy for a fixed tolerance, and the
+    // per-second allocation rates grow with throughput, so those are reported for information only.
+    private static final Pattern HIGHER_IS_BETTER = Pattern.compile(".*\\.throughput");
+    private static final Pattern LOWER_IS_BETTER = Pattern.compile(".*\\.p(50|99)-micros|server\\.allocation-bytes-per-request");
+
+    private static final String USER_JSON = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"birthDate\":\"%s\",\"email\":\"%s\",\"address\":\"1 Load St\",\"phoneNumber\":\"1234567890\"}";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Environment env;
+
+    // The HTTP client works on its own named threads, so their allocations are charged to the client
+    private final ExecutorService clientExecutor = Executors.newCachedThreadPool(namedThreads("loadtest-client-"));
+    private final HttpClient httpClient = HttpClient.newBuilder().executor(clientExecutor).build();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private List<Long> updateIds;
+    private ConcurrentLinkedQueue<Long> deleteIds;
+
+    private volatile boolean running = true;
+
+    @Test
+    void mixedWorkload_WithinBaseline() throws Exception {
+        // Arrange
+        int threads = env.getProperty("loadtest.workload.threads", Integer.class, 8);
+        long warmupMillis = env.getProperty("loadtest.workload.warmup-seconds", Long.class, 10L) * 1000;
+        long durationMillis = env.getProperty("loadtest.workload.duration-seconds", Long.class, 60L) * 1000;
+        long randomSeed = env.getProperty("loadtest.workload.random-seed", Long.class, 42L);
+        double tolerance = env.getProperty("loadtest.tolerance", Double.class, 0.2);
+        double maxErrorRatio = env.getProperty("loadtest.max-error-ratio", Double.class, 0.0);
+        boolean baselineRequired = env.getProperty("loadtest.baseline-required", Boolean.class, true);
+
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+        prepareIds(randomSeed);
+        List<Operation> mix = buildMix();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(randomSeed + i);
+            String prefix = "load" + i;
+            workers.add(new Thread(() -> runWorker(random, mix, prefix), "loadtest-worker-" + i));
+        }
+
+        // Act: warm up, then measure a fixed interval
+        workers.forEach(Thread::start);
+        Thread.sleep(warmupMillis);
+        recorders.values().forEach(Recorder::getIntervalHistogram);
+        errors.values().forEach(LongAdder::reset);
+        Map<Long, Long> serverAllocatedBefore = allocatedBytesByThread(this::isServerThread);
+        Map<Long, Long> clientAllocatedBefore = allocatedBytesByThread(this::isClientThread);
+
+        long start = System.nanoTime();
+        Thread.sleep(durationMillis);
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        Map<Long, Long> serverAllocatedAfter = allocatedBytesByThread(this::isServerThread);
+        Map<Long, Long> clientAllocatedAfter = allocatedBytesByThread(this::isClientThread);
+
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        clientExecutor.shutdown();
+
+        // Assert
+        long serverBytes = allocatedDelta(serverAllocatedBefore, serverAllocatedAfter);
+        long clientBytes = allocatedDelta(clientAllocatedBefore, clientAllocatedAfter);
+        Properties report = buildReport(histograms, elapsedSeconds, serverBytes, clientBytes);
+        writeReport(report);
+
+        double errorRatio = Double.parseDouble(report.getProperty("total.error-ratio"));
+        assertTrue(errorRatio <= maxErrorRatio,
+                "Error ratio " + errorRatio + " exceeds " + maxErrorRatio + ", failed requests: " + report.getProperty("total.errors"));
+
+        List<String> regressions = compareWithBaseline(report, tolerance, baselineRequired);
+        assertTrue(regressions.isEmpty(), "Regressions against baseline: " + regressions);
+    }
+
+    /**
+     * Splits the seeded user IDs into a pool for updates and a pool that is consumed by deletes,
+     * so that deletes never hit an already deleted user.
+     */
+    private void prepareIds(long randomSeed) {
+        List<Long> ids = userRepository.findAll().stream()
+                .map(User::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        Collections.shuffle(ids, new Random(randomSeed));
+        int half = ids.size() / 2;
+        updateIds = List.copyOf(ids.subList(0, half));
+        deleteIds = new ConcurrentLinkedQueue<>(ids.subList(half, ids.size()));
+    }
+
+    /**
+     * Expands the configured operation weights into a list that workers pick from uniformly.
+     */
+    private List<Operation> buildMix() {
+        List<Operation> mix = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            String key = "loadtest.workload.mix." + operation.name().toLowerCase();
+            int weight = env.getProperty(key, Integer.class, 0);
+            mix.addAll(Collections.nCopies(weight, operation));
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalStateException("At least one loadtest.workload.mix weight must be positive.");
+        }
+        return mix;
+    }
+
+    private void runWorker(Random random, List<Operation> mix, String prefix) {
+        long sequence = 0;
+        while (running) {
+            Operation operation = mix.get(random.nextInt(mix.size()));
+            HttpRequest request = buildRequest(operation, random, prefix + "-" + sequence++);
+            if (request == null) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                // Only successful requests count towards latency and throughput
+                if (response.statusCode() < 300) {
+                    recorders.get(operation).recordValue((System.nanoTime() - start) / 1000);
+                } else {
+                    errors.get(operation).increment();
+                }
+            } catch (IOException e) {
+                errors.get(operation).increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(Operation operation, Random random, String uniqueName) {
+        switch (operation) {
+            case CREATE:
+                return HttpRequest.newBuilder(uri("/users"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(userJson(random, uniqueName)))
+                        .build();
+            case UPDATE:
+                if (updateIds.isEmpty()) {
+                    return null;
+                }
+                Long updateId = updateIds.get(random.nextInt(updateIds.size()));
+                return HttpRequest.newBuilder(uri("/users/" + updateId))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(userJson(random, uniqueName)))
+                        .build();
+            case DELETE:
+                Long deleteId = deleteIds.poll();
+                return deleteId == null ? null : HttpRequest.newBuilder(uri("/users/" + deleteId)).DELETE().build();
+            case SEARCH:
+                LocalDate fromDate = randomBirthDate(random);
+                String query = "/users/search?fromDate=" + fromDate + "&toDate=" + fromDate.plusMonths(6);
+                // Half of the searches use a sparse fieldset, as most callers do
+                if (random.nextBoolean()) {
+                    query += "&fields=id,email,birthDate";
+                }
+                return HttpRequest.newBuilder(uri(query)).GET().build();
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private String userJson(Random random, String uniqueName) {
+        return String.format(USER_JSON, randomBirthDate(random), uniqueName + "@example.com");
+    }
+
+    private LocalDate randomBirthDate(Random random) {
+        return LocalDate.of(1950 + random.nextInt(50), 1 + random.nextInt(12), 1 + random.nextInt(28));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private boolean isServerThread(String threadName) {
+        return SERVER_THREAD_NAME.matcher(threadName).matches();
+    }
+
+    private boolean isClientThread(String threadName) {
+        // Worker and executor threads, plus the selector thread the HTTP client always starts itself
+        return threadName.startsWith("loadtest-") || threadName.startsWith("HttpClient-");
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Snapshots the bytes allocated so far by the live threads of this JVM whose name matches the filter.
+     */
+    private Map<Long, Long> allocatedBytesByThread(Predicate<String> threadNameFilter) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threadMXBean.getAllThreadIds();
+        long[] bytes = threadMXBean.getThreadAllocatedBytes(ids);
+        ThreadInfo[] infos = threadMXBean.getThreadInfo(ids);
+        Map<Long, Long> allocated = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] != null && bytes[i] >= 0 && threadNameFilter.test(infos[i].getThreadName())) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    private long allocatedDelta(Map<Long, Long> before, Map<Long, Long> after) {
+        long delta = 0;
+        for (Map.Entry<Long, Long> entry : after.entrySet()) {
+            delta += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return delta;
+    }
+
+    private Properties buildReport(Map<Operation, Histogram> histograms, double elapsedSeconds, long serverBytes, long clientBytes) {
+        Properties report = new Properties();
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            String key = entry.getKey().name().toLowerCase();
+            Histogram histogram = entry.getValue();
+            long operationErrors = errors.get(entry.getKey()).sum();
+            totalCount += histogram.getTotalCount();
+            totalErrors += operationErrors;
+            report.setProperty(key + ".count", String.valueOf(histogram.getTotalCount()));
+            report.setProperty(key + ".errors", String.valueOf(operationErrors));
+            report.setProperty(key + ".throughput", format(histogram.getTotalCount() / elapsedSeconds));
+            report.setProperty(key + ".p50-micros", String.valueOf(histogram.getValueAtPercentile(50)));
+            report.setProperty(key + ".p99-micros", String.valueOf(histogram.getValueAtPercentile(99)));
+            report.setProperty(key + ".p999-micros", String.valueOf(histogram.getValueAtPercentile(99.9)));
+            report.setProperty(key + ".max-micros", String.valueOf(histogram.getMaxValue()));
+        }
+        report.setProperty("total.throughput", format(totalCount / elapsedSeconds));
+        report.setProperty("total.errors", String.valueOf(totalErrors));
+        report.setProperty("total.error-ratio", String.valueOf(totalCount + totalErrors == 0 ? 0.0 : (double) totalErrors / (totalCount + totalErrors)));
+        report.setProperty("server.allocation-mb-per-sec", format(serverBytes / elapsedSeconds / (1024 * 1024)));
+        report.setProperty("server.allocation-bytes-per-request", format(totalCount == 0 ? 0 : (double) serverBytes / totalCount));
+        report.setProperty("client.allocation-mb-per-sec", format(clientBytes / elapsedSeconds / (1024 * 1024)));
+        return report;
+    }
+
+    private void writeReport(Properties report) throws IOException {
+        Path reportPath = Path.of(env.getProperty("loadtest.report", "target/loadtest/report.properties"));
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(reportPath)) {
+            report.store(writer, "User API load test report");
+        }
+        report.stringPropertyNames().stream()
+                .sorted()
+                .forEach(key -> System.out.println(key + " = " + report.getProperty(key)));
+    }
+
+    /**
+     * Compares the report with the baseline file. Throughput may not drop, and median and p99 latency
+     * and server allocation per request may not grow, by more than the given tolerance.
+     * @return A description of every metric that regressed
+     */
+    private List<String> compareWithBaseline(Properties report, double tolerance, boolean baselineRequired) throws IOException {
+        Path baselinePath = Path.of(env.getProperty("loadtest.baseline", "src/test/resources/loadtest/baseline.properties"));
+        List<String> regressions = new ArrayList<>();
+        if (!Files.exists(baselinePath)) {
+            assertTrue(!baselineRequired, "No load test baseline found at " + baselinePath
+                    + ", record one or run with -Dloadtest.baseline-required=false.");
+            System.out.println("No load test baseline found at " + baselinePath + ", skipping comparison.");
+            return regressions;
+        }
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(baselinePath)) {
+            baseline.load(reader);
+        }
+        for (String key : baseline.stringPropertyNames()) {
+            if (!report.containsKey(key)) {
+                continue;
+            }
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            double actual = Double.parseDouble(report.getProperty(key));
+            boolean regressed = HIGHER_IS_BETTER.matcher(key).matches() && actual < expected * (1 - tolerance)
+                    || LOWER_IS_BETTER.matcher(key).matches() && actual > expected * (1 + tolerance);
+            if (regressed) {
+                regressions.add(key + ": baseline " + expected + ", actual " + actual);
+            }
+        }
+        return regressions;
+    }
+
+    private String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
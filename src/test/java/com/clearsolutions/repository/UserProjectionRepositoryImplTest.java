@@ -0,0 +1,131 @@
+package com.clearsolutions.repository;
+
+import com.clearsolutions.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserProjectionRepositoryImplTest {
+
+    private static final List<String> USER_ATTRIBUTES = List.of("id", "email", "firstName", "lastName", "birthDate", "address", "phoneNumber");
+
+    private static final LocalDate FROM_DATE = LocalDate.of(1990, 1, 1);
+    private static final LocalDate TO_DATE = LocalDate.of(1995, 12, 31);
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Metamodel metamodel;
+
+    @Mock
+    private EntityType<User> entityType;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private TypedQuery<Tuple> typedQuery;
+
+    @Mock
+    private Tuple tuple;
+
+    private UserProjectionRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        // Mock the User metamodel, in a different order than the declaration order
+        Set<SingularAttribute<? super User, ?>> attributes = new HashSet<>();
+        for (String name : USER_ATTRIBUTES) {
+            SingularAttribute<? super User, ?> attribute = mock(SingularAttribute.class);
+            when(attribute.getName()).thenReturn(name);
+            attributes.add(attribute);
+        }
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        doReturn(entityType).when(metamodel).entity(User.class);
+        doReturn(attributes).when(entityType).getSingularAttributes();
+
+        // Mock the query and its results
+        when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of(tuple));
+        when(tuple.get(anyString())).thenAnswer(invocation -> "value of " + invocation.getArgument(0));
+
+        repository = new UserProjectionRepositoryImpl(entityManager);
+    }
+
+    @Test
+    void findProjectedByBirthDateBetween_UnknownField_ExceptionThrown() {
+        // Act and Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> repository.findProjectedByBirthDateBetween(FROM_DATE, TO_DATE, Set.of("email", "password")));
+        assertTrue(exception.getMessage().contains("password"));
+        verify(entityManager, never()).createQuery(anyString(), eq(Tuple.class));
+    }
+
+    @Test
+    void findProjectedByBirthDateBetween_SelectedFields_ReturnsOnlyThoseFields() {
+        // Act
+        List<Map<String, Object>> users = repository.findProjectedByBirthDateBetween(FROM_DATE, TO_DATE, Set.of("birthDate", "id", "email"));
+
+        // Assert
+        assertEquals(1, users.size());
+        assertEquals(List.of("id", "email", "birthDate"), new ArrayList<>(users.get(0).keySet()));
+        assertEquals("value of email", users.get(0).get("email"));
+        verify(entityManager).createQuery(
+                "select u.id as id, u.email as email, u.birthDate as birthDate from User u where u.birthDate between :fromDate and :toDate",
+                Tuple.class);
+    }
+
+    @Test
+    void findProjectedByBirthDateBetween_SameFieldsInDifferentOrder_SameQuery() {
+        // Arrange
+        Set<String> fields = new LinkedHashSet<>(List.of("id", "email", "birthDate"));
+        Set<String> reorderedFields = new LinkedHashSet<>(List.of("birthDate", "email", "id"));
+
+        // Act
+        repository.findProjectedByBirthDateBetween(FROM_DATE, TO_DATE, fields);
+        repository.findProjectedByBirthDateBetween(FROM_DATE, TO_DATE, reorderedFields);
+
+        // Assert
+        ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(2)).createQuery(queries.capture(), eq(Tuple.class));
+        assertSame(queries.getAllValues().get(0), queries.getAllValues().get(1));
+    }
+
+    @Test
+    void findProjectedById_NullOrEmptyFields_SelectsAllAttributes() {
+        // Act
+        Map<String, Object> userWithNullFields = repository.findProjectedById(1L, null).orElseThrow();
+        Map<String, Object> userWithEmptyFields = repository.findProjectedById(1L, Set.of()).orElseThrow();
+
+        // Assert
+        assertEquals(USER_ATTRIBUTES, new ArrayList<>(userWithNullFields.keySet()));
+        assertEquals(USER_ATTRIBUTES, new ArrayList<>(userWithEmptyFields.keySet()));
+        verify(entityManager, times(2)).createQuery(
+                "select u.id as id, u.email as email, u.firstName as firstName, u.lastName as lastName, u.birthDate as birthDate, "
+                        + "u.address as address, u.phoneNumber as phoneNumber from User u where u.id = :id",
+                Tuple.class);
+    }
+}
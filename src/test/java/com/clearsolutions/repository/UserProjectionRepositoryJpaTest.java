@@ -0,0 +1,94 @@
+package com.clearsolutions.repository;
+
+import com.clearsolutions.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserProjectionRepositoryJpaTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private User john;
+
+    @BeforeEach
+    void setUp() {
+        john = testEntityManager.persist(new User(null, "john@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "1234567890"));
+        testEntityManager.persist(new User(null, "jane@example.com", "Jane", "Doe", LocalDate.of(2000, 5, 15), "456 Elm St", "0974547155"));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void findProjectedById_SelectedFields_ReturnsOnlyThoseFields() {
+        // Act
+        Optional<Map<String, Object>> user = userRepository.findProjectedById(john.getId(), Set.of("email", "birthDate"));
+
+        // Assert
+        assertTrue(user.isPresent());
+        assertEquals(Map.of("email", "john@example.com", "birthDate", LocalDate.of(1990, 1, 1)), user.get());
+    }
+
+    @Test
+    void findProjectedById_NoFields_ReturnsAllFields() {
+        // Act
+        Map<String, Object> user = userRepository.findProjectedById(john.getId(), null).orElseThrow();
+
+        // Assert
+        assertEquals(List.of("id", "email", "firstName", "lastName", "birthDate", "address", "phoneNumber"), List.copyOf(user.keySet()));
+        assertEquals(john.getId(), user.get("id"));
+        assertEquals("123 Street", user.get("address"));
+        assertEquals("1234567890", user.get("phoneNumber"));
+    }
+
+    @Test
+    void findProjectedById_UnknownUser_ReturnsEmpty() {
+        // Act and Assert
+        assertTrue(userRepository.findProjectedById(-1L, Set.of("email")).isEmpty());
+    }
+
+    @Test
+    void findProjectedByBirthDateBetween_SelectedFields_ReturnsMatchingUsers() {
+        // Act
+        List<Map<String, Object>> users = userRepository.findProjectedByBirthDateBetween(
+                LocalDate.of(1989, 1, 1), LocalDate.of(1995, 12, 31), Set.of("id", "email"));
+
+        // Assert
+        assertEquals(List.of(Map.of("id", john.getId(), "email", "john@example.com")), users);
+    }
+
+    @Test
+    void findProjectedByBirthDateBetween_NoFields_ReturnsAllFields() {
+        // Act
+        List<Map<String, Object>> users = userRepository.findProjectedByBirthDateBetween(
+                LocalDate.of(1980, 1, 1), LocalDate.of(2010, 12, 31), Set.of());
+
+        // Assert
+        assertEquals(2, users.size());
+        users.forEach(user -> assertEquals(7, user.size()));
+    }
+
+    @Test
+    void findProjectedByBirthDateBetween_UnknownField_ExceptionThrown() {
+        // Act and Assert: the repository proxy translates the validation error into a data access exception
+        InvalidDataAccessApiUsageException exception = assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> userRepository.findProjectedByBirthDateBetween(LocalDate.of(1980, 1, 1), LocalDate.of(2010, 12, 31), Set.of("email", "password")));
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+    }
+}
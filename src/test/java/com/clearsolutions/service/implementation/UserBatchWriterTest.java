@@ -0,0 +1,178 @@
+package com.clearsolutions.service.implementation;
+
+import com.clearsolutions.exeption.UserQueueFullException;
+import com.clearsolutions.model.User;
+import com.clearsolutions.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchWriterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void submit_TwoUsers_SavedInOneBatch() throws Exception {
+        // Arrange
+        UserBatchWriter writer = new UserBatchWriter(userRepository, transactionManager, 10, 2, 1000, 5000);
+        User john = new User(null, "john@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "1234567890");
+        User jane = new User(null, "jane@example.com", "Jane", "Doe", LocalDate.of(1992, 5, 15), "456 Elm St", "0974547155");
+
+        // Mock repository behavior
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        writer.start();
+        CompletableFuture<User> johnFuture = writer.submit(john);
+        CompletableFuture<User> janeFuture = writer.submit(jane);
+
+        // Assert
+        assertEquals(john, johnFuture.get(5, TimeUnit.SECONDS));
+        assertEquals(jane, janeFuture.get(5, TimeUnit.SECONDS));
+        verify(userRepository, times(1)).saveAll(List.of(john, jane));
+        verify(transactionManager, times(1)).commit(any());
+        writer.stop();
+    }
+
+    @Test
+    void submit_BatchFails_UsersRetriedOneByOne() throws Exception {
+        // Arrange
+        UserBatchWriter writer = new UserBatchWriter(userRepository, transactionManager, 10, 2, 1000, 5000);
+        User john = new User(null, "john@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "1234567890");
+        User invalid = new User(null, "invalid@example.com", "Invalid", "User", LocalDate.of(1992, 5, 15), "456 Elm St", "0974547155");
+        Map<String, Long> idsOnRetry = new ConcurrentHashMap<>();
+
+        // The batch assigns identifiers before failing, as an IDENTITY insert does
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            for (int i = 0; i < users.size(); i++) {
+                users.get(i).setId(100L + i);
+            }
+            throw new DataIntegrityViolationException("Batch failed");
+        });
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            idsOnRetry.put(user.getEmail(), user.getId() == null ? -1L : user.getId());
+            if (user == invalid) {
+                throw new DataIntegrityViolationException("Invalid user");
+            }
+            user.setId(1L);
+            return user;
+        });
+
+        // Act
+        writer.start();
+        CompletableFuture<User> johnFuture = writer.submit(john);
+        CompletableFuture<User> invalidFuture = writer.submit(invalid);
+
+        // Assert
+        assertEquals(john, johnFuture.get(5, TimeUnit.SECONDS));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> invalidFuture.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof DataIntegrityViolationException);
+        verify(userRepository, times(1)).saveAll(anyList());
+        verify(userRepository, times(2)).save(any(User.class));
+        // Identifiers from the rolled back batch are reset before the retry
+        assertEquals(Map.of("john@example.com", -1L, "invalid@example.com", -1L), idsOnRetry);
+        writer.stop();
+    }
+
+    @Test
+    void submit_CancelledWhileWriterStalled_NeverSaved() throws Exception {
+        // Arrange
+        UserBatchWriter writer = new UserBatchWriter(userRepository, transactionManager, 10, 1, 0, 5000);
+        User john = new User(null, "john@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "1234567890");
+        User jane = new User(null, "jane@example.com", "Jane", "Doe", LocalDate.of(1992, 5, 15), "456 Elm St", "0974547155");
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Stall the writer on the first batch
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await();
+            return null;
+        });
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        writer.start();
+        CompletableFuture<User> johnFuture = writer.submit(john);
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<User> janeFuture = writer.submit(jane);
+        boolean johnCancelled = johnFuture.cancel(false);
+        boolean janeCancelled = janeFuture.cancel(false);
+        release.countDown();
+        writer.stop();
+
+        // Assert
+        assertFalse(johnCancelled, "A user whose batch is being written cannot be cancelled");
+        assertEquals(john, johnFuture.get(5, TimeUnit.SECONDS));
+        assertTrue(janeCancelled);
+        assertTrue(janeFuture.isCancelled());
+        verify(userRepository, times(1)).saveAll(List.of(john));
+        verify(userRepository, never()).saveAll(List.of(jane));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void submit_QueueFull_ExceptionThrown() throws Exception {
+        // Arrange
+        UserBatchWriter writer = new UserBatchWriter(userRepository, transactionManager, 1, 1, 0, 5000);
+        User user = new User(null, "john@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "1234567890");
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Keep the writer busy with the first batch
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await();
+            return null;
+        });
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        writer.start();
+        writer.submit(user);
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        writer.submit(user);
+
+        // Assert
+        assertThrows(UserQueueFullException.class, () -> writer.submit(user));
+        release.countDown();
+        writer.stop();
+    }
+
+    @Test
+    void submit_WriterStopped_ExceptionThrown() throws Exception {
+        // Arrange
+        UserBatchWriter writer = new UserBatchWriter(userRepository, transactionManager, 10, 10, 5, 5000);
+        User user = new User(null, "john@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "1234567890");
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertThrows(UserQueueFullException.class, () -> writer.submit(user));
+        verifyNoInteractions(userRepository);
+    }
+}
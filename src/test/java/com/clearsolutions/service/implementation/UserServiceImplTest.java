@@ -1,5 +1,6 @@
 package com.clearsolutions.service.implementation;
 
+import com.clearsolutions.exeption.UserCommitTimeoutException;
 import com.clearsolutions.model.User;
 import com.clearsolutions.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -7,11 +8,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +28,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ObjectProvider<UserBatchWriter> userBatchWriterProvider;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -42,6 +51,68 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).save(user);
     }
 
+    @Test
+    void createUser_GroupCommitEnabled_SavedThroughBatchWriter() {
+        // Arrange
+        User user = new User(1L,"john@example.com","John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "123456789");
+        UserBatchWriter userBatchWriter = mock(UserBatchWriter.class);
+        when(userBatchWriterProvider.getIfAvailable()).thenReturn(userBatchWriter);
+        UserServiceImpl groupCommitUserService = new UserServiceImpl(userRepository, userBatchWriterProvider);
+
+        // Mock batch writer behavior
+        when(userBatchWriter.submit(user)).thenReturn(CompletableFuture.completedFuture(user));
+
+        // Act
+        User createdUser = groupCommitUserService.createUser(user);
+
+        // Assert
+        assertEquals(user, createdUser);
+        verify(userBatchWriter, times(1)).submit(user);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void createUser_GroupCommitNotCommittedInTime_ExceptionThrown() {
+        // Arrange
+        User user = new User(1L,"john@example.com","John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "123456789");
+        UserBatchWriter userBatchWriter = mock(UserBatchWriter.class);
+        when(userBatchWriterProvider.getIfAvailable()).thenReturn(userBatchWriter);
+        UserServiceImpl groupCommitUserService = new UserServiceImpl(userRepository, userBatchWriterProvider);
+
+        // Mock a batch that never commits
+        when(userBatchWriter.submit(user)).thenReturn(new CompletableFuture<>());
+        when(userBatchWriter.getCommitTimeoutMillis()).thenReturn(10L);
+
+        // Act and Assert
+        assertThrows(UserCommitTimeoutException.class, () -> groupCommitUserService.createUser(user));
+    }
+
+    @Test
+    void createUser_GroupCommitBatchAlreadyWriting_WaitsForOutcome() {
+        // Arrange
+        User user = new User(1L,"john@example.com","John", "Doe", LocalDate.of(1990, 1, 1), "123 Street", "123456789");
+        UserBatchWriter userBatchWriter = mock(UserBatchWriter.class);
+        when(userBatchWriterProvider.getIfAvailable()).thenReturn(userBatchWriter);
+        UserServiceImpl groupCommitUserService = new UserServiceImpl(userRepository, userBatchWriterProvider);
+
+        // Mock a batch that is claimed by the writer when the first wait runs out, and then commits
+        CompletableFuture<User> claimedFuture = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                complete(user);
+                return false;
+            }
+        };
+        when(userBatchWriter.submit(user)).thenReturn(claimedFuture);
+        when(userBatchWriter.getCommitTimeoutMillis()).thenReturn(10L);
+
+        // Act
+        User createdUser = groupCommitUserService.createUser(user);
+
+        // Assert
+        assertEquals(user, createdUser);
+    }
+
     @Test
     void updateUser_UserExists_Success() {
         // Arrange
@@ -128,4 +199,49 @@ class UserServiceImplTest {
         // Act and Assert
         assertThrows(IllegalArgumentException.class, () -> userService.getUsersByBirthDateRange(fromDate, toDate));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUsersByBirthDateRange_WithFields_ReturnsProjection() {
+        // Arrange
+        LocalDate fromDate = LocalDate.of(1990, 1, 1);
+        LocalDate toDate = LocalDate.of(1995, 12, 31);
+        Set<String> fields = Set.of("id", "email", "birthDate");
+        List<Map<String, Object>> expectedUsers = List.of(
+                Map.of("id", 1L, "email", "john@example.com", "birthDate", LocalDate.of(1990, 1, 1))
+        );
+
+        // Mock repository behavior
+        when(userRepository.findProjectedByBirthDateBetween(fromDate, toDate, fields)).thenReturn(expectedUsers);
+
+        // Act
+        List<Map<String, Object>> actualUsers = userService.getUsersByBirthDateRange(fromDate, toDate, fields);
+
+        // Assert
+        assertEquals(expectedUsers, actualUsers);
+        verify(userRepository, never()).findByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    void getUsersByBirthDateRange_WithFieldsInvalidDateRange_ExceptionThrown() {
+        // Arrange
+        LocalDate fromDate = LocalDate.of(1995, 1, 1);
+        LocalDate toDate = LocalDate.of(1990, 12, 31);
+
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersByBirthDateRange(fromDate, toDate, Set.of("email")));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void findUserById_UnknownField_IllegalArgumentExceptionThrown() {
+        // Arrange
+        Set<String> fields = Set.of("password");
+        IllegalArgumentException cause = new IllegalArgumentException("Unknown user fields: password");
+
+        // Mock repository exception translation
+        when(userRepository.findProjectedById(1L, fields)).thenThrow(new InvalidDataAccessApiUsageException(cause.getMessage(), cause));
+
+        // Act and Assert
+        assertSame(cause, assertThrows(IllegalArgumentException.class, () -> userService.findUserById(1L, fields)));
+    }
+}